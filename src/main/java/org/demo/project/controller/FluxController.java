@@ -1,14 +1,23 @@
 package org.demo.project.controller;
 
+import lombok.extern.slf4j.Slf4j;
 import org.demo.project.model.Product;
+import org.demo.project.model.ProductStats;
+import org.demo.project.model.StockUpdate;
 import org.demo.project.service.ProductService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
 
 /**
  * FluxController demonstrates endpoints that return Flux
@@ -23,6 +32,7 @@ import reactor.core.publisher.Flux;
  * Note: When using MediaType.APPLICATION_NDJSON_VALUE or APPLICATION_STREAM_JSON_VALUE,
  * the response is streamed to the client as items are emitted, rather than buffering all items.
  */
+@Slf4j
 @RestController
 @RequestMapping("/api/flux")
 public class FluxController {
@@ -30,6 +40,9 @@ public class FluxController {
     @Autowired
     private ProductService productService;
 
+    @Value("${catalog.stats.sample-interval:1s}")
+    private Duration defaultStatsSampleInterval;
+
     /**
      * Endpoint that returns all products as a JSON array
      * Returns Flux but Jackson automatically collects it into an array
@@ -39,6 +52,9 @@ public class FluxController {
      */
     @GetMapping("/products")
     public Flux<Product> getAllProducts() {
+        if (log.isDebugEnabled()) {
+            log.debug("event=products.list");
+        }
         return productService.getAllProducts();
     }
 
@@ -55,6 +71,9 @@ public class FluxController {
      */
     @GetMapping(value = "/products-stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
     public Flux<Product> streamAllProducts() {
+        if (log.isDebugEnabled()) {
+            log.debug("event=products.stream");
+        }
         return productService.getAllProducts();
     }
 
@@ -67,6 +86,9 @@ public class FluxController {
      */
     @GetMapping("/products-by-price")
     public Flux<Product> getProductsByPrice(@RequestParam(defaultValue = "500") Double maxPrice) {
+        if (log.isDebugEnabled()) {
+            log.debug("event=products.by-price maxPrice={}", maxPrice);
+        }
         return productService.getProductsByMaxPrice(maxPrice);
     }
 
@@ -78,6 +100,9 @@ public class FluxController {
      */
     @GetMapping(value = "/products-by-price-stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
     public Flux<Product> streamProductsByPrice(@RequestParam(defaultValue = "500") Double maxPrice) {
+        if (log.isDebugEnabled()) {
+            log.debug("event=products.by-price-stream maxPrice={}", maxPrice);
+        }
         return productService.getProductsByMaxPrice(maxPrice);
     }
 
@@ -90,6 +115,9 @@ public class FluxController {
      */
     @GetMapping("/low-stock")
     public Flux<Product> getLowStockProducts(@RequestParam(defaultValue = "15") Integer threshold) {
+        if (log.isDebugEnabled()) {
+            log.debug("event=products.low-stock threshold={}", threshold);
+        }
         return productService.getLowStockProducts(threshold);
     }
 
@@ -102,6 +130,9 @@ public class FluxController {
      */
     @GetMapping("/product-names")
     public Flux<String> getProductNames() {
+        if (log.isDebugEnabled()) {
+            log.debug("event=products.names");
+        }
         return productService.getProductNames();
     }
 
@@ -117,9 +148,29 @@ public class FluxController {
      */
     @GetMapping(value = "/product-names-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     public Flux<String> streamProductNames() {
+        if (log.isDebugEnabled()) {
+            log.debug("event=products.names-stream");
+        }
         return productService.getProductNames();
     }
 
+    /**
+     * Endpoint for type-ahead product search by name
+     * Served from an in-memory index, best matches first
+     * limit defaults to 10; larger values are capped at 100
+     *
+     * Example: GET /api/flux/products/search?q=mo&limit=5
+     * Response: [{"id":4,"name":"Monitor",...}, {"id":2,"name":"Mouse",...}]
+     */
+    @GetMapping("/products/search")
+    public Flux<Product> searchProducts(@RequestParam String q,
+                                        @RequestParam(defaultValue = "10") Integer limit) {
+        if (log.isDebugEnabled()) {
+            log.debug("event=products.search query={} limit={}", q, limit);
+        }
+        return productService.searchProducts(q, Math.min(limit, 100));
+    }
+
     /**
      * Endpoint that demonstrates Flux error handling
      * Combines two Flux streams
@@ -129,10 +180,65 @@ public class FluxController {
      */
     @GetMapping("/products-combined")
     public Flux<Product> getCombinedProducts() {
+        if (log.isDebugEnabled()) {
+            log.debug("event=products.combined");
+        }
         return Flux.concat(
                 productService.getProductsByMaxPrice(100.0),
                 productService.getProductsByMaxPrice(500.0)
         ).distinct();
     }
-}
 
+    /**
+     * Endpoint that ingests a stream of stock deltas (NDJSON)
+     * Each line is applied as soon as it is read; the request body is read
+     * more slowly when the database writes fall behind
+     *
+     * Example: POST /api/flux/products/stock
+     * Content-Type: application/x-ndjson
+     * {"productId":1,"delta":-2}
+     * {"productId":2,"delta":10}
+     * Response: 2 (number of applied updates)
+     */
+    @PostMapping(value = "/products/stock", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<Long> updateStock(@RequestBody Flux<StockUpdate> updates) {
+        if (log.isDebugEnabled()) {
+            log.debug("event=products.stock-ingest");
+        }
+        return productService.applyStockUpdates(updates).count();
+    }
+
+    /**
+     * Endpoint that returns aggregates over the whole catalog
+     * Saves clients from downloading every product just to compute totals
+     *
+     * Example: GET /api/flux/products/stats
+     * Response: {"productCount":5,"totalQuantity":120,"inventoryValue":15648.8,"minPrice":29.99,
+     *            "maxPrice":999.99,"averagePrice":311.99,"countByPriceBucket":{"0-50":1,"50-100":1,"100-500":2,...}}
+     */
+    @GetMapping("/products/stats")
+    public Mono<ProductStats> getProductStats() {
+        if (log.isDebugEnabled()) {
+            log.debug("event=products.stats");
+        }
+        return productService.getProductStats();
+    }
+
+    /**
+     * Endpoint that streams catalog aggregates as Server-Sent Events
+     * Emits the current aggregates, then new ones whenever the catalog changes,
+     * at most once per sampleMillis (defaults to catalog.stats.sample-interval, minimum 10)
+     *
+     * Example: GET /api/flux/products/stats-stream?sampleMillis=500
+     */
+    @GetMapping(value = "/products/stats-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ProductStats> streamProductStats(@RequestParam(required = false) Long sampleMillis) {
+        if (log.isDebugEnabled()) {
+            log.debug("event=products.stats-stream sampleMillis={}", sampleMillis);
+        }
+        Duration sampleInterval = sampleMillis != null
+                ? Duration.ofMillis(Math.max(0, sampleMillis))
+                : defaultStatsSampleInterval;
+        return productService.getProductStatsUpdates(sampleInterval);
+    }
+}
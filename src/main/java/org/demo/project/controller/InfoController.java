@@ -39,6 +39,12 @@ public class InfoController {
                     "/api/flux/low-stock", "Low stock products (Flux - business logic)",
                     "/api/flux/product-names", "Get product names (Flux - transformation)"
             ));
+            info.put("rsocketRoutes", Map.of(
+                    "users.{id}", "Get a single user (request-response)",
+                    "products.stream", "Stream products (request-stream)",
+                    "products.by-price", "Stream products by price (request-stream)",
+                    "products.lookup", "Bulk product lookup by ID (request-channel)"
+            ));
             return info;
         });
     }
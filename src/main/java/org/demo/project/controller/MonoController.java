@@ -1,5 +1,6 @@
 package org.demo.project.controller;
 
+import lombok.extern.slf4j.Slf4j;
 import org.demo.project.model.User;
 import org.demo.project.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +20,7 @@ import reactor.core.publisher.Mono;
  * - Getting one result from an API
  * - Returning single computed values
  */
+@Slf4j
 @RestController
 @RequestMapping("/api/mono")
 public class MonoController {
@@ -36,6 +38,9 @@ public class MonoController {
      */
     @GetMapping("/user/{id}")
     public Mono<User> getUserById(@PathVariable Integer id) {
+        if (log.isDebugEnabled()) {
+            log.debug("event=user.get userId={}", id);
+        }
         return userService.getUserById(id);
     }
 
@@ -48,6 +53,9 @@ public class MonoController {
      */
     @GetMapping("/user-immediate/{id}")
     public Mono<User> getUserByIdImmediate(@PathVariable Integer id) {
+        if (log.isDebugEnabled()) {
+            log.debug("event=user.get-immediate userId={}", id);
+        }
         return userService.getUserByIdImmediate(id);
     }
 
@@ -60,6 +68,9 @@ public class MonoController {
      */
     @GetMapping("/user-validated/{id}")
     public Mono<User> getUserByIdWithValidation(@PathVariable Integer id) {
+        if (log.isDebugEnabled()) {
+            log.debug("event=user.get-validated userId={}", id);
+        }
         return userService.getUserByIdWithError(id);
     }
 
@@ -72,6 +83,9 @@ public class MonoController {
      */
     @GetMapping("/user-email/{id}")
     public Mono<String> getUserEmail(@PathVariable Integer id) {
+        if (log.isDebugEnabled()) {
+            log.debug("event=user.email userId={}", id);
+        }
         return userService.getUserById(id)
                 .map(User::getEmail)
                 .defaultIfEmpty("User not found");
@@ -86,6 +100,9 @@ public class MonoController {
      */
     @GetMapping("/user-summary/{id}")
     public Mono<String> getUserSummary(@PathVariable Integer id) {
+        if (log.isDebugEnabled()) {
+            log.debug("event=user.summary userId={}", id);
+        }
         return userService.getUserById(id)
                 .map(user -> String.format("User: %s (%s)", user.getName(), user.getEmail()))
                 .onErrorReturn("Error fetching user");
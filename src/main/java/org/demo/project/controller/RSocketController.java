@@ -0,0 +1,90 @@
+package org.demo.project.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.demo.project.model.Product;
+import org.demo.project.model.User;
+import org.demo.project.service.ProductService;
+import org.demo.project.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * RSocketController exposes the same services as the WebFlux controllers over RSocket (TCP)
+ * The interaction model is picked from the handler signature:
+ * - Mono in, Mono out: request-response
+ * - single value in, Flux out: request-stream
+ * - Flux in, Flux out: request-channel
+ *
+ * Unlike HTTP/1.1 NDJSON streaming, RSocket carries demand across the wire.
+ * The requester sends REQUEST_N frames and the Flux below is only asked for that many items,
+ * so a slow client slows down the producer instead of filling socket buffers.
+ *
+ * The server listens on spring.rsocket.server.port (default 7000).
+ */
+@Slf4j
+@Controller
+public class RSocketController {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ProductService productService;
+
+    /**
+     * Request-response: returns a single user
+     *
+     * Example: rsc --route users.1 tcp://localhost:7000
+     */
+    @MessageMapping("users.{id}")
+    public Mono<User> getUserById(@DestinationVariable Integer id) {
+        if (log.isDebugEnabled()) {
+            log.debug("event=rsocket.user.get userId={}", id);
+        }
+        return userService.getUserById(id);
+    }
+
+    /**
+     * Request-stream: streams all products, honouring the requester's credits
+     *
+     * Example: rsc --stream --route products.stream tcp://localhost:7000
+     */
+    @MessageMapping("products.stream")
+    public Flux<Product> streamAllProducts() {
+        if (log.isDebugEnabled()) {
+            log.debug("event=rsocket.products.stream");
+        }
+        return productService.getAllProducts();
+    }
+
+    /**
+     * Request-stream: streams products with price <= maxPrice
+     *
+     * Example: rsc --stream --route products.by-price --data 100 tcp://localhost:7000
+     */
+    @MessageMapping("products.by-price")
+    public Flux<Product> streamProductsByPrice(Double maxPrice) {
+        if (log.isDebugEnabled()) {
+            log.debug("event=rsocket.products.by-price maxPrice={}", maxPrice);
+        }
+        return productService.getProductsByMaxPrice(maxPrice);
+    }
+
+    /**
+     * Request-channel: looks up products for a stream of IDs on one connection
+     * Unknown IDs are skipped; lookups run in order so results follow the input order
+     *
+     * Example: rsc --channel --route products.lookup --data - tcp://localhost:7000
+     */
+    @MessageMapping("products.lookup")
+    public Flux<Product> lookupProducts(Flux<Integer> ids) {
+        if (log.isDebugEnabled()) {
+            log.debug("event=rsocket.products.lookup");
+        }
+        return ids.concatMap(productService::getProductById);
+    }
+}
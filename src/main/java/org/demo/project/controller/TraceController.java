@@ -0,0 +1,45 @@
+package org.demo.project.controller;
+
+import org.demo.project.tracing.RequestTracer;
+import org.demo.project.tracing.TraceRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+/**
+ * TraceController exposes the timelines recorded by RequestTracer
+ * Only answers requests from the local machine unless tracing.local-only=false
+ */
+@RestController
+@RequestMapping("/api/trace")
+public class TraceController {
+
+    @Autowired
+    private RequestTracer requestTracer;
+
+    @Value("${tracing.local-only:true}")
+    private boolean localOnly;
+
+    /**
+     * Endpoint that returns recent sampled requests slower than tracing.slow-threshold, newest first
+     * Each entry lists its spans with offsets from the start of the request,
+     * so time spent in a service can be told apart from time spent before or after it
+     *
+     * Example: GET /api/trace/slow-requests
+     * Response: [{"traceId":"3f2a...","method":"GET","path":"/api/mono/user-summary/1","status":200,
+     *             "durationMicros":1843,"spans":[{"name":"UserService.getUserById","startMicros":312,...}]}]
+     */
+    @GetMapping("/slow-requests")
+    public Flux<TraceRecord> getSlowRequests(ServerHttpRequest request) {
+        if (localOnly && !RequestTracer.isLocal(request.getRemoteAddress())) {
+            return Flux.error(new ResponseStatusException(HttpStatus.FORBIDDEN));
+        }
+        return Flux.fromIterable(requestTracer.getRecentSlowRequests());
+    }
+}
@@ -0,0 +1,24 @@
+package org.demo.project.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * ProductStats model class holding aggregates over the whole catalog
+ * Price fields are null when the catalog is empty
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductStats {
+    private Long productCount;
+    private Long totalQuantity;
+    private Double inventoryValue;
+    private Double minPrice;
+    private Double maxPrice;
+    private Double averagePrice;
+    private Map<String, Long> countByPriceBucket;
+}
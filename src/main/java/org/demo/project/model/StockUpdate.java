@@ -0,0 +1,17 @@
+package org.demo.project.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * StockUpdate model class describing a change in a product's quantity
+ * A positive delta adds stock, a negative delta removes stock
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockUpdate {
+    private Integer productId;
+    private Integer delta;
+}
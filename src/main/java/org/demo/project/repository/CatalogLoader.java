@@ -0,0 +1,56 @@
+package org.demo.project.repository;
+
+import jakarta.annotation.PostConstruct;
+import org.demo.project.model.Product;
+import org.demo.project.model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * CatalogLoader seeds the database with the demo catalog and users on startup
+ * Runs after schema.sql has been applied and only loads into empty tables,
+ * so several application contexts can share the same in-memory database.
+ */
+@Component
+@DependsOnDatabaseInitialization
+public class CatalogLoader {
+
+    static final List<Product> PRODUCTS = List.of(
+            new Product(1, "Laptop", 999.99, 5),
+            new Product(2, "Mouse", 29.99, 50),
+            new Product(3, "Keyboard", 79.99, 30),
+            new Product(4, "Monitor", 299.99, 10),
+            new Product(5, "Headphones", 149.99, 25)
+    );
+
+    static final List<User> USERS = List.of(
+            new User(1, "John Doe", "john@example.com"),
+            new User(2, "Jane Smith", "jane@example.com"),
+            new User(3, "Alice Johnson", "alice@example.com")
+    );
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * Blocking is fine here: this runs once on the startup thread, before any request is served
+     */
+    @PostConstruct
+    public void load() {
+        productRepository.count()
+                .filter(count -> count == 0)
+                .flatMap(count -> productRepository.saveAll(Flux.fromIterable(PRODUCTS)))
+                .block();
+        userRepository.count()
+                .filter(count -> count == 0)
+                .flatMap(count -> userRepository.saveAll(Flux.fromIterable(USERS)))
+                .block();
+    }
+}
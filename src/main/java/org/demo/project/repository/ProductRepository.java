@@ -0,0 +1,174 @@
+package org.demo.project.repository;
+
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import org.demo.project.model.Product;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ProductRepository reads and writes products through R2DBC
+ *
+ * Queries return a Flux backed by the driver's result cursor, so rows are decoded
+ * as the subscriber requests them instead of being collected into a list first.
+ * The fetch size (catalog.r2dbc.fetch-size) is a hint for how many rows to pull per round trip.
+ * The bundled H2 driver ignores it; it only takes effect with drivers that implement fetchSize.
+ */
+@Repository
+public class ProductRepository {
+
+    private static final String SELECT_PRODUCT = "SELECT id, name, price, quantity FROM product";
+
+    private static final String INSERT_PRODUCT =
+            "INSERT INTO product (id, name, price, quantity) VALUES ($1, $2, $3, $4)";
+
+    private static final String UPDATE_QUANTITY = "UPDATE product SET quantity = $1 WHERE id = $2";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Value("${catalog.r2dbc.fetch-size:64}")
+    private int fetchSize;
+
+    @Value("${catalog.r2dbc.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Stream all products ordered by ID
+     */
+    public Flux<Product> findAll() {
+        return databaseClient.sql(SELECT_PRODUCT + " ORDER BY id")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(ProductRepository::toProduct)
+                .all();
+    }
+
+    /**
+     * Find a single product by ID
+     */
+    public Mono<Product> findById(Integer id) {
+        return databaseClient.sql(SELECT_PRODUCT + " WHERE id = :id")
+                .bind("id", id)
+                .map(ProductRepository::toProduct)
+                .one();
+    }
+
+    /**
+     * Stream products with price <= maxPrice ordered by ID
+     */
+    public Flux<Product> findByMaxPrice(Double maxPrice) {
+        return databaseClient.sql(SELECT_PRODUCT + " WHERE price <= :maxPrice ORDER BY id")
+                .bind("maxPrice", maxPrice)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(ProductRepository::toProduct)
+                .all();
+    }
+
+    /**
+     * Stream only the product names ordered by ID
+     */
+    public Flux<String> findAllNames() {
+        return databaseClient.sql("SELECT name FROM product ORDER BY id")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(row -> row.get("name", String.class))
+                .all();
+    }
+
+    /**
+     * Count all products
+     */
+    public Mono<Long> count() {
+        return databaseClient.sql("SELECT COUNT(*) FROM product")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * Insert products in batches of catalog.r2dbc.batch-size rows
+     * Each batch is sent as a single statement with one binding per row,
+     * which saves a round trip per product during catalog loads.
+     *
+     * Returns the number of inserted rows
+     */
+    public Mono<Long> saveAll(Flux<Product> products) {
+        return products.buffer(batchSize)
+                .concatMap(this::saveBatch, 1)
+                .reduce(0L, Long::sum);
+    }
+
+    /**
+     * Insert products as a single batched statement, without splitting them further
+     * Returns the number of inserted rows
+     */
+    public Mono<Long> saveBatch(List<Product> batch) {
+        if (batch.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return databaseClient.inConnectionMany(connection -> {
+                    Statement statement = connection.createStatement(INSERT_PRODUCT);
+                    for (int i = 0; i < batch.size(); i++) {
+                        if (i > 0) {
+                            statement.add();
+                        }
+                        Product product = batch.get(i);
+                        statement.bind(0, product.getId())
+                                .bind(1, product.getName())
+                                .bind(2, product.getPrice())
+                                .bind(3, product.getQuantity());
+                    }
+                    return Flux.from(statement.execute())
+                            .flatMap(Result::getRowsUpdated);
+                })
+                .reduce(0L, Long::sum);
+    }
+
+    /**
+     * Number of rows saveAll() sends per INSERT statement
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Set the quantity of several products in one batched statement
+     * Keys are product IDs, values are the new absolute quantities
+     *
+     * Returns the number of updated rows
+     */
+    public Mono<Long> updateQuantities(Map<Integer, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return databaseClient.inConnectionMany(connection -> {
+                    Statement statement = connection.createStatement(UPDATE_QUANTITY);
+                    boolean first = true;
+                    for (Map.Entry<Integer, Integer> entry : quantities.entrySet()) {
+                        if (!first) {
+                            statement.add();
+                        }
+                        first = false;
+                        statement.bind(0, entry.getValue())
+                                .bind(1, entry.getKey());
+                    }
+                    return Flux.from(statement.execute())
+                            .flatMap(Result::getRowsUpdated);
+                })
+                .reduce(0L, Long::sum);
+    }
+
+    private static Product toProduct(Readable row) {
+        return new Product(
+                row.get("id", Integer.class),
+                row.get("name", String.class),
+                row.get("price", Double.class),
+                row.get("quantity", Integer.class));
+    }
+}
@@ -0,0 +1,60 @@
+package org.demo.project.repository;
+
+import io.r2dbc.spi.Readable;
+import org.demo.project.model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * UserRepository reads and writes users through R2DBC
+ */
+@Repository
+public class UserRepository {
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    /**
+     * Find a single user by ID
+     */
+    public Mono<User> findById(Integer id) {
+        return databaseClient.sql("SELECT id, name, email FROM users WHERE id = :id")
+                .bind("id", id)
+                .map(UserRepository::toUser)
+                .one();
+    }
+
+    /**
+     * Count all users
+     */
+    public Mono<Long> count() {
+        return databaseClient.sql("SELECT COUNT(*) FROM users")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * Insert users one statement per row
+     * Returns the number of inserted rows
+     */
+    public Mono<Long> saveAll(Flux<User> users) {
+        return users.concatMap(user -> databaseClient
+                        .sql("INSERT INTO users (id, name, email) VALUES (:id, :name, :email)")
+                        .bind("id", user.getId())
+                        .bind("name", user.getName())
+                        .bind("email", user.getEmail())
+                        .fetch()
+                        .rowsUpdated())
+                .reduce(0L, Long::sum);
+    }
+
+    private static User toUser(Readable row) {
+        return new User(
+                row.get("id", Integer.class),
+                row.get("name", String.class),
+                row.get("email", String.class));
+    }
+}
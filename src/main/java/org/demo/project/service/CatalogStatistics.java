@@ -0,0 +1,117 @@
+package org.demo.project.service;
+
+import org.demo.project.model.Product;
+import org.demo.project.model.ProductStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * CatalogStatistics keeps catalog aggregates up to date as products change
+ *
+ * Every change is applied as (before, after): the old product is subtracted and the new one added,
+ * so the cost of a change does not depend on the size of the catalog.
+ * Money is summed in cents to avoid drift from repeated floating point additions and subtractions.
+ * Min and max price come from a sorted price histogram so they stay correct when products go away.
+ *
+ * Price buckets are configured with catalog.stats.price-buckets (ascending upper bounds).
+ */
+@Component
+public class CatalogStatistics {
+
+    private final double[] bucketBounds;
+
+    private final String[] bucketLabels;
+
+    private final long[] bucketCounts;
+
+    private final TreeMap<Double, Long> priceHistogram = new TreeMap<>();
+
+    private long productCount;
+
+    private long totalQuantity;
+
+    private long inventoryValueCents;
+
+    private long priceSumCents;
+
+    private long version;
+
+    public CatalogStatistics(@Value("${catalog.stats.price-buckets:50,100,500,1000}") double[] bucketBounds) {
+        this.bucketBounds = bucketBounds.clone();
+        Arrays.sort(this.bucketBounds);
+        this.bucketLabels = new String[this.bucketBounds.length + 1];
+        this.bucketCounts = new long[this.bucketBounds.length + 1];
+        double lower = 0;
+        for (int i = 0; i < this.bucketBounds.length; i++) {
+            bucketLabels[i] = format(lower) + "-" + format(this.bucketBounds[i]);
+            lower = this.bucketBounds[i];
+        }
+        bucketLabels[this.bucketBounds.length] = format(lower) + "+";
+    }
+
+    /**
+     * Replace a product in the aggregates
+     * before is null for a new product, after is null for a removed product
+     */
+    public synchronized void apply(Product before, Product after) {
+        if (before != null) {
+            add(before, -1);
+        }
+        if (after != null) {
+            add(after, 1);
+        }
+        version++;
+    }
+
+    /**
+     * Number of changes applied so far
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Current aggregates, computed from the running totals
+     */
+    public synchronized ProductStats snapshot() {
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < bucketLabels.length; i++) {
+            buckets.put(bucketLabels[i], bucketCounts[i]);
+        }
+        boolean empty = productCount == 0;
+        return new ProductStats(
+                productCount,
+                totalQuantity,
+                inventoryValueCents / 100.0,
+                empty ? null : priceHistogram.firstKey(),
+                empty ? null : priceHistogram.lastKey(),
+                empty ? null : Math.round((double) priceSumCents / productCount) / 100.0,
+                buckets);
+    }
+
+    private void add(Product product, int sign) {
+        long priceCents = Math.round(product.getPrice() * 100);
+        productCount += sign;
+        totalQuantity += (long) sign * product.getQuantity();
+        inventoryValueCents += sign * priceCents * product.getQuantity();
+        priceSumCents += sign * priceCents;
+        bucketCounts[bucketOf(product.getPrice())] += sign;
+        priceHistogram.merge(product.getPrice(), (long) sign, (count, delta) -> count + delta == 0 ? null : count + delta);
+    }
+
+    private int bucketOf(double price) {
+        int index = Arrays.binarySearch(bucketBounds, price);
+        // An exact match on a bound belongs to the bucket above it
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private static String format(double bound) {
+        return BigDecimal.valueOf(bound).stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,172 @@
+package org.demo.project.service;
+
+import org.demo.project.model.Product;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * ProductNameIndex answers type-ahead searches over product names without scanning the catalog
+ *
+ * Three indexes are kept, all on lower-cased names:
+ * - a sorted index of full names ("wireless mouse")
+ * - a sorted index of the name from every later word start ("mouse")
+ * - a trigram inverted index for matches inside a word; candidates come from the query's
+ *   rarest trigram and are confirmed with contains()
+ *
+ * Results are returned in tiers: name starts with the query, then a word starts with the query,
+ * then any other substring match. Within a tier results follow the order of the index being scanned:
+ * full names alphabetically, word starts alphabetically by the text from the matched word onward
+ * ("wireless mouse" sorts as "mouse", before "gaming mousemat"), substring matches by full name.
+ * The sorted indexes are scanned as range queries and the scan stops once limit results are found,
+ * so even a one-letter query touches at most limit entries per tier.
+ *
+ * The index is updated per product change, like CatalogStatistics.
+ */
+@Component
+public class ProductNameIndex {
+
+    private static final int GRAM = 3;
+
+    private final Map<Integer, String> names = new HashMap<>();
+
+    private final TreeMap<String, Set<Integer>> nameIndex = new TreeMap<>();
+
+    private final TreeMap<String, Set<Integer>> wordIndex = new TreeMap<>();
+
+    private final Map<String, Set<Integer>> gramIndex = new HashMap<>();
+
+    /**
+     * Replace a product in the index
+     * before is null for a new product, after is null for a removed product
+     */
+    public synchronized void apply(Product before, Product after) {
+        if (before != null && after != null && before.getName().equals(after.getName())) {
+            return;
+        }
+        if (before != null) {
+            remove(before.getId());
+        }
+        if (after != null) {
+            add(after.getId(), normalize(after.getName()));
+        }
+    }
+
+    /**
+     * Return the IDs of the best matching products, best first
+     */
+    public synchronized List<Integer> search(String text, int limit) {
+        String query = normalize(text);
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Set<Integer> result = new LinkedHashSet<>();
+        scanPrefix(nameIndex, query, result, limit);
+        scanPrefix(wordIndex, query, result, limit);
+        if (result.size() < limit && query.length() >= GRAM) {
+            // Every name or word prefix match is already in result, the rest are substring matches
+            List<Integer> substringMatches = new ArrayList<>();
+            for (Integer id : rarestGramPostings(query)) {
+                if (!result.contains(id) && names.get(id).contains(query)) {
+                    substringMatches.add(id);
+                }
+            }
+            substringMatches.sort(Comparator.<Integer, String>comparing(names::get).thenComparing(Comparator.naturalOrder()));
+            for (Integer id : substringMatches) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                result.add(id);
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    private static void scanPrefix(TreeMap<String, Set<Integer>> index, String query, Set<Integer> result, int limit) {
+        for (Set<Integer> ids : index.subMap(query, true, query + Character.MAX_VALUE, true).values()) {
+            for (Integer id : ids) {
+                if (result.size() >= limit) {
+                    return;
+                }
+                result.add(id);
+            }
+        }
+    }
+
+    private void add(Integer id, String name) {
+        names.put(id, name);
+        nameIndex.computeIfAbsent(name, k -> new TreeSet<>()).add(id);
+        for (String key : wordSuffixes(name)) {
+            wordIndex.computeIfAbsent(key, k -> new TreeSet<>()).add(id);
+        }
+        for (String gram : grams(name)) {
+            gramIndex.computeIfAbsent(gram, k -> new HashSet<>()).add(id);
+        }
+    }
+
+    private void remove(Integer id) {
+        String name = names.remove(id);
+        if (name == null) {
+            return;
+        }
+        removePosting(nameIndex, name, id);
+        for (String key : wordSuffixes(name)) {
+            removePosting(wordIndex, key, id);
+        }
+        for (String gram : grams(name)) {
+            removePosting(gramIndex, gram, id);
+        }
+    }
+
+    private Set<Integer> rarestGramPostings(String query) {
+        Set<Integer> rarest = null;
+        for (String gram : grams(query)) {
+            Set<Integer> postings = gramIndex.get(gram);
+            if (postings == null) {
+                return Set.of();
+            }
+            if (rarest == null || postings.size() < rarest.size()) {
+                rarest = postings;
+            }
+        }
+        return rarest;
+    }
+
+    private static void removePosting(Map<String, Set<Integer>> index, String key, Integer id) {
+        Set<Integer> ids = index.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static List<String> wordSuffixes(String name) {
+        List<String> suffixes = new ArrayList<>();
+        for (int i = name.indexOf(' '); i >= 0; i = name.indexOf(' ', i + 1)) {
+            suffixes.add(name.substring(i + 1));
+        }
+        return suffixes;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
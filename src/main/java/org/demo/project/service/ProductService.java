@@ -1,26 +1,70 @@
 package org.demo.project.service;
 
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.demo.project.model.Product;
+import org.demo.project.model.ProductStats;
+import org.demo.project.model.StockUpdate;
+import org.demo.project.repository.ProductRepository;
+import org.demo.project.tracing.RequestTracer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.util.Arrays;
-import java.util.List;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * ProductService demonstrates the use of Flux
  * Flux is used when you need to return multiple values (0 to N elements)
+ *
+ * Products are read from the database through ProductRepository.
+ * Each Flux streams rows from the result cursor as they are requested.
+ *
+ * Stock changes are applied to an in-memory view of the catalog first and written
+ * to the database later by StockWriteBehind, so quantities returned by this service
+ * always come from the view and are never older than the last applied update.
+ * Every change to the view also updates CatalogStatistics and ProductNameIndex,
+ * so aggregates and the name search index are never rebuilt.
  */
+@Slf4j
 @Service
+@DependsOn("catalogLoader")
 public class ProductService {
 
-    private List<Product> products = Arrays.asList(
-            new Product(1, "Laptop", 999.99, 5),
-            new Product(2, "Mouse", 29.99, 50),
-            new Product(3, "Keyboard", 79.99, 30),
-            new Product(4, "Monitor", 299.99, 10),
-            new Product(5, "Headphones", 149.99, 25)
-    );
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockWriteBehind stockWriteBehind;
+
+    @Autowired
+    private CatalogStatistics catalogStatistics;
+
+    @Autowired
+    private ProductNameIndex productNameIndex;
+
+    @Autowired
+    private RequestTracer requestTracer;
+
+    private static final Duration MIN_STATS_SAMPLE_INTERVAL = Duration.ofMillis(10);
+
+    private final Map<Integer, Product> catalog = new ConcurrentHashMap<>();
+
+    /**
+     * Blocking is fine here: the view is loaded once on the startup thread
+     */
+    @PostConstruct
+    public void loadView() {
+        productRepository.findAll()
+                .doOnNext(this::putInView)
+                .blockLast();
+        log.info("event=catalog.view-loaded products={}", catalog.size());
+    }
 
     /**
      * Retrieve all products
@@ -29,7 +73,19 @@ public class ProductService {
      * Use case: Getting multiple records from database, streaming data, list of items
      */
     public Flux<Product> getAllProducts() {
-        return Flux.fromIterable(products);
+        return productRepository.findAll()
+                .map(this::withCurrentStock)
+                .transform(requestTracer.flux("ProductService.getAllProducts"));
+    }
+
+    /**
+     * Retrieve a single product by ID
+     * Returns an empty Mono if no product has the given ID
+     */
+    public Mono<Product> getProductById(Integer productId) {
+        return Mono.justOrEmpty(catalog.get(productId))
+                .map(this::copyOf)
+                .transform(requestTracer.mono("ProductService.getProductById"));
     }
 
     /**
@@ -37,17 +93,23 @@ public class ProductService {
      * Demonstrates Flux filtering capability
      */
     public Flux<Product> getProductsByMaxPrice(Double maxPrice) {
-        return Flux.fromIterable(products)
-                .filter(product -> product.getPrice() <= maxPrice);
+        return productRepository.findByMaxPrice(maxPrice)
+                .map(this::withCurrentStock)
+                .transform(requestTracer.flux("ProductService.getProductsByMaxPrice"));
     }
 
     /**
      * Retrieve products with low stock (quantity < threshold)
      * Demonstrates Flux filtering and business logic
+     *
+     * Served from the in-memory view so stock updates that are not flushed yet are included
      */
     public Flux<Product> getLowStockProducts(Integer threshold) {
-        return Flux.fromIterable(products)
-                .filter(product -> product.getQuantity() < threshold);
+        return Flux.defer(() -> Flux.fromStream(catalog.values().stream()
+                        .filter(product -> product.getQuantity() < threshold)
+                        .sorted(Comparator.comparing(Product::getId))))
+                .map(this::copyOf)
+                .transform(requestTracer.flux("ProductService.getLowStockProducts"));
     }
 
     /**
@@ -55,8 +117,135 @@ public class ProductService {
      * Demonstrates Flux map operation
      */
     public Flux<String> getProductNames() {
-        return Flux.fromIterable(products)
-                .map(Product::getName);
+        return productRepository.findAllNames()
+                .transform(requestTracer.flux("ProductService.getProductNames"));
+    }
+
+    /**
+     * Search products by name for type-ahead
+     * Matches names that start with the query, then names with a word starting with it,
+     * then names containing it (queries of 3+ characters); returns at most limit products, best first
+     */
+    public Flux<Product> searchProducts(String query, Integer limit) {
+        return Flux.defer(() -> Flux.fromIterable(productNameIndex.search(query, limit)))
+                .mapNotNull(catalog::get)
+                .map(this::copyOf)
+                .transform(requestTracer.flux("ProductService.searchProducts"));
+    }
+
+    /**
+     * Load a catalog of products using batched inserts
+     * Products are streamed in batches; each batch is added to the view once it is persisted.
+     * Batches are saved one at a time with a single batch queued, so memory stays bounded
+     * by a few batches rather than growing with the catalog.
+     * Returns the number of inserted products
+     */
+    public Mono<Long> loadCatalog(Flux<Product> products) {
+        return products.buffer(productRepository.getBatchSize())
+                .concatMap(batch -> productRepository.saveBatch(batch)
+                        .doOnSuccess(count -> batch.forEach(product -> putInView(copyOf(product)))), 1)
+                .reduce(0L, Long::sum);
     }
-}
 
+    /**
+     * Apply a stream of stock deltas
+     * Each update is visible to readers as soon as it is applied and is persisted later in batches.
+     * Updates are applied one at a time, so when the write-behind buffer is full the incoming
+     * stream is no longer requested from until a flush makes room.
+     *
+     * Updates without a product ID or delta and updates for unknown product IDs are skipped;
+     * quantities stay between zero and Integer.MAX_VALUE.
+     * Returns the updated products
+     */
+    public Flux<Product> applyStockUpdates(Flux<StockUpdate> updates) {
+        return updates.concatMap(this::applyStockUpdate)
+                .transform(requestTracer.flux("ProductService.applyStockUpdates"));
+    }
+
+    /**
+     * Retrieve aggregates over the whole catalog
+     * Read from running totals, so the cost does not depend on the number of products
+     */
+    public Mono<ProductStats> getProductStats() {
+        return Mono.fromSupplier(catalogStatistics::snapshot)
+                .transform(requestTracer.mono("ProductService.getProductStats"));
+    }
+
+    /**
+     * Stream catalog aggregates: the current value first, then a new value after changes
+     * The change counter is polled every sampleInterval (at least 10ms), so writers never
+     * wait on subscribers and at most one value is emitted per interval
+     */
+    public Flux<ProductStats> getProductStatsUpdates(Duration sampleInterval) {
+        Duration interval = sampleInterval.compareTo(MIN_STATS_SAMPLE_INTERVAL) < 0
+                ? MIN_STATS_SAMPLE_INTERVAL
+                : sampleInterval;
+        return Flux.defer(() -> Flux.interval(interval)
+                        .onBackpressureDrop()
+                        .map(tick -> catalogStatistics.getVersion())
+                        .startWith(catalogStatistics.getVersion()))
+                .distinctUntilChanged()
+                .map(version -> catalogStatistics.snapshot());
+    }
+
+    private Mono<Product> applyStockUpdate(StockUpdate update) {
+        if (update.getProductId() == null || update.getDelta() == null) {
+            if (log.isDebugEnabled()) {
+                log.debug("event=stock.update-skipped productId={} delta={} reason=missing-field",
+                        update.getProductId(), update.getDelta());
+            }
+            return Mono.empty();
+        }
+        Product updated = catalog.computeIfPresent(update.getProductId(), (id, product) -> {
+            int quantity = addStock(product.getQuantity(), update.getDelta());
+            if (quantity == product.getQuantity()) {
+                // Zero delta or already clamped: nothing changed, so no new version and no write
+                return product;
+            }
+            Product after = new Product(id, product.getName(), product.getPrice(), quantity);
+            catalogStatistics.apply(product, after);
+            stockWriteBehind.record(after);
+            return after;
+        });
+        if (updated == null) {
+            if (log.isDebugEnabled()) {
+                log.debug("event=stock.update-skipped productId={} reason=unknown-product", update.getProductId());
+            }
+            return Mono.empty();
+        }
+        if (log.isTraceEnabled()) {
+            log.trace("event=stock.update productId={} delta={} quantity={}",
+                    updated.getId(), update.getDelta(), updated.getQuantity());
+        }
+        return stockWriteBehind.awaitCapacity()
+                .thenReturn(copyOf(updated));
+    }
+
+    /**
+     * Apply a delta, keeping the quantity within 0..Integer.MAX_VALUE
+     */
+    private static int addStock(int quantity, int delta) {
+        long sum = (long) quantity + delta;
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, sum));
+    }
+
+    private void putInView(Product product) {
+        catalog.compute(product.getId(), (id, before) -> {
+            catalogStatistics.apply(before, product);
+            productNameIndex.apply(before, product);
+            return product;
+        });
+    }
+
+    private Product withCurrentStock(Product product) {
+        Product current = catalog.get(product.getId());
+        if (current != null) {
+            product.setQuantity(current.getQuantity());
+        }
+        return product;
+    }
+
+    private Product copyOf(Product product) {
+        return new Product(product.getId(), product.getName(), product.getPrice(), product.getQuantity());
+    }
+}
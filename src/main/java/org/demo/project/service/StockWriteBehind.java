@@ -0,0 +1,160 @@
+package org.demo.project.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.demo.project.model.Product;
+import org.demo.project.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * StockWriteBehind buffers product quantity changes and writes them to the database in batches
+ *
+ * Pending writes are coalesced per product ID: only the latest quantity of a product is kept,
+ * so a burst of updates to the same product costs a single row update.
+ * A flush runs when catalog.write-behind.batch-size products are pending
+ * or every catalog.write-behind.flush-interval, whichever comes first.
+ * Only one flush runs at a time, so writes for a product reach the database in order.
+ *
+ * When more than catalog.write-behind.max-pending products are waiting,
+ * awaitCapacity() only completes after a flush has made room, which slows down the caller.
+ */
+@Slf4j
+@Component
+public class StockWriteBehind {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Value("${catalog.write-behind.batch-size:100}")
+    private int batchSize;
+
+    @Value("${catalog.write-behind.flush-interval:250ms}")
+    private Duration flushInterval;
+
+    @Value("${catalog.write-behind.max-pending:10000}")
+    private int maxPending;
+
+    private final Map<Integer, Integer> pending = new ConcurrentHashMap<>();
+
+    private final Sinks.Many<Boolean> flushRequests = Sinks.many().multicast().directBestEffort();
+
+    private final Sinks.Many<Long> flushes = Sinks.many().multicast().directBestEffort();
+
+    private Disposable flusher;
+
+    @PostConstruct
+    public void start() {
+        // Drop ticks at the source: a woken caller can keep the flusher busy for several intervals,
+        // and an interval without demand fails with an overflow error instead of waiting
+        Flux<Boolean> ticks = Flux.interval(flushInterval).onBackpressureDrop().map(tick -> true);
+        flusher = Flux.merge(ticks, flushRequests.asFlux())
+                .onBackpressureDrop()
+                .concatMap(trigger -> flushWhile(batchSize), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        flusher.dispose();
+        flushWhile(1).block(Duration.ofSeconds(10));
+    }
+
+    /**
+     * Queue the current quantity of a product for writing
+     * Must be called while the caller holds the product's entry in the catalog view
+     * (inside ConcurrentHashMap.compute), so pending writes follow the same order as the view.
+     * Only updates the buffer; flushes are triggered from awaitCapacity(), outside that lock.
+     */
+    public void record(Product product) {
+        pending.put(product.getId(), product.getQuantity());
+    }
+
+    /**
+     * Call after record(), once the view lock is released
+     * Triggers a flush when a full batch is pending and completes immediately
+     * unless the buffer is full, in which case it waits for a flush
+     */
+    public Mono<Void> awaitCapacity() {
+        if (pending.size() >= batchSize) {
+            flushRequests.tryEmitNext(true);
+        }
+        if (pending.size() < maxPending) {
+            return Mono.empty();
+        }
+        // Subscribe to flushes before re-checking, so a flush finishing in between is not missed
+        return Flux.merge(flushes.asFlux(), Mono.just(0L))
+                .filter(flushed -> pending.size() < maxPending)
+                .next()
+                .then();
+    }
+
+    /**
+     * Number of products with a quantity change not yet written to the database
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Flush once, then keep flushing while at least minPending products are waiting
+     * Stops early when a flush fails so a broken database does not cause a busy loop
+     */
+    private Mono<Long> flushWhile(int minPending) {
+        return flush().flatMap(flushed -> flushed > 0 && pending.size() >= minPending
+                ? flushWhile(minPending)
+                : Mono.just(flushed));
+    }
+
+    /**
+     * Write up to batchSize pending products
+     * Returns the number of products written, or 0 if the write failed and was re-queued
+     * A batch whose write fails or is cancelled goes back into pending unless a newer quantity arrived
+     */
+    private Mono<Long> flush() {
+        return Mono.defer(() -> {
+            Map<Integer, Integer> batch = new HashMap<>();
+            Iterator<Integer> ids = pending.keySet().iterator();
+            while (ids.hasNext() && batch.size() < batchSize) {
+                Integer id = ids.next();
+                Integer quantity = pending.remove(id);
+                if (quantity != null) {
+                    batch.put(id, quantity);
+                }
+            }
+            if (batch.isEmpty()) {
+                return Mono.just(0L);
+            }
+            long startNanos = System.nanoTime();
+            return productRepository.updateQuantities(batch)
+                    .doOnNext(rows -> {
+                        if (log.isDebugEnabled()) {
+                            log.debug("event=stock.flush products={} rows={} pending={} durationMicros={}",
+                                    batch.size(), rows, pending.size(), (System.nanoTime() - startNanos) / 1000);
+                        }
+                    })
+                    .map(updated -> (long) batch.size())
+                    .onErrorResume(e -> {
+                        log.warn("event=stock.flush-failed products={} action=requeue", batch.size(), e);
+                        batch.forEach(pending::putIfAbsent);
+                        return Mono.just(0L);
+                    })
+                    // Cancelled by stop() mid-write: put the batch back so the final flush writes it.
+                    // Quantities are absolute, so writing a batch twice is harmless.
+                    .doOnCancel(() -> batch.forEach(pending::putIfAbsent))
+                    .doOnNext(flushes::tryEmitNext);
+        });
+    }
+}
@@ -1,6 +1,10 @@
 package org.demo.project.service;
 
+import lombok.extern.slf4j.Slf4j;
 import org.demo.project.model.User;
+import org.demo.project.repository.UserRepository;
+import org.demo.project.tracing.RequestTracer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
@@ -8,9 +12,16 @@ import reactor.core.publisher.Mono;
  * UserService demonstrates the use of Mono
  * Mono is used when you need to return a single value (0 or 1 element)
  */
+@Slf4j
 @Service
 public class UserService {
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RequestTracer requestTracer;
+
     /**
      * Retrieve a single user by ID
      * Returns a Mono that emits a User object or empty if not found
@@ -18,23 +29,16 @@ public class UserService {
      * Use case: Getting a single record from database, API response with one item
      */
     public Mono<User> getUserById(Integer userId) {
-        // Simulate fetching from database with a delay
-        return Mono.create(sink -> {
-            try {
-                Thread.sleep(1000); // Simulate DB query time
-                User user = new User(userId, "John Doe", "john@example.com");
-                sink.success(user);
-            } catch (InterruptedException e) {
-                sink.error(e);
-            }
-        });
+        return userRepository.findById(userId)
+                .transform(requestTracer.mono("UserService.getUserById"));
     }
 
     /**
      * Alternative implementation using Mono.just() for immediate response
      */
     public Mono<User> getUserByIdImmediate(Integer userId) {
-        return Mono.just(new User(userId, "Jane Smith", "jane@example.com"));
+        return Mono.just(new User(userId, "Jane Smith", "jane@example.com"))
+                .transform(requestTracer.mono("UserService.getUserByIdImmediate"));
     }
 
     /**
@@ -42,9 +46,13 @@ public class UserService {
      */
     public Mono<User> getUserByIdWithError(Integer userId) {
         if (userId < 0) {
+            if (log.isDebugEnabled()) {
+                log.debug("event=user.rejected userId={} reason=negative-id", userId);
+            }
             return Mono.error(new IllegalArgumentException("User ID must be positive"));
         }
-        return Mono.just(new User(userId, "Valid User", "valid@example.com"));
+        return userRepository.findById(userId)
+                .transform(requestTracer.mono("UserService.getUserByIdWithError"));
     }
 }
 
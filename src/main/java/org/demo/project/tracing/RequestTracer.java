@@ -0,0 +1,174 @@
+package org.demo.project.tracing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * RequestTracer records sampled per-request timelines
+ *
+ * As a WebFilter it decides per request whether to trace it: a fraction of requests
+ * (tracing.sample-rate) is sampled, and a request carrying an X-Trace-Id header is always traced.
+ * With tracing.local-only=true (the default) the header is only honoured from the local machine,
+ * so remote clients cannot fill the slow-request buffer with forced traces.
+ * A sampled request gets a TraceContext in its Reactor Context and the trace ID in the response.
+ * Services wrap their publishers with mono()/flux() to add spans to the current trace.
+ *
+ * Unsampled requests skip all of this: the filter passes them straight through and the span
+ * operators find no TraceContext. With tracing.enabled=false the span operators are not even assembled.
+ *
+ * Finished traces slower than tracing.slow-threshold go into a fixed-size ring buffer
+ * (tracing.buffer-size) that keeps the most recent ones.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTracer implements WebFilter {
+
+    public static final String TRACE_HEADER = "X-Trace-Id";
+
+    private final boolean enabled;
+
+    private final double sampleRate;
+
+    private final boolean localOnly;
+
+    private final long slowThresholdMicros;
+
+    private final AtomicReferenceArray<TraceRecord> slowRequests;
+
+    private final AtomicLong slowRequestCount = new AtomicLong();
+
+    public RequestTracer(@Value("${tracing.enabled:true}") boolean enabled,
+                         @Value("${tracing.sample-rate:0.01}") double sampleRate,
+                         @Value("${tracing.slow-threshold:250ms}") Duration slowThreshold,
+                         @Value("${tracing.buffer-size:100}") int bufferSize,
+                         @Value("${tracing.local-only:true}") boolean localOnly) {
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.localOnly = localOnly;
+        this.slowThresholdMicros = slowThreshold.toNanos() / 1000;
+        this.slowRequests = new AtomicReferenceArray<>(bufferSize);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!enabled) {
+            return chain.filter(exchange);
+        }
+        String requestedId = exchange.getRequest().getHeaders().getFirst(TRACE_HEADER);
+        boolean forced = requestedId != null && !requestedId.isBlank()
+                && (!localOnly || isLocal(exchange.getRequest().getRemoteAddress()));
+        if (!forced && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return chain.filter(exchange);
+        }
+
+        String traceId = forced
+                ? requestedId.substring(0, Math.min(requestedId.length(), 64))
+                : String.format("%016x", ThreadLocalRandom.current().nextLong());
+        TraceContext trace = new TraceContext(traceId,
+                exchange.getRequest().getMethod().name(),
+                exchange.getRequest().getPath().value());
+        exchange.getResponse().getHeaders().set(TRACE_HEADER, traceId);
+
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(TraceContext.class, trace))
+                .doFinally(signal -> {
+                    // A status that was never set is the default 200
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    record(trace.finish(status == null ? HttpStatus.OK.value() : status.value()));
+                });
+    }
+
+    /**
+     * Operator adding a span named name around a Mono when the current request is traced
+     * Use with Mono.transform()
+     */
+    public <T> Function<Mono<T>, Mono<T>> mono(String name) {
+        if (!enabled) {
+            return Function.identity();
+        }
+        return source -> Mono.deferContextual(context -> {
+            TraceContext trace = context.getOrDefault(TraceContext.class, null);
+            if (trace == null) {
+                return source;
+            }
+            TraceContext.Span span = trace.startSpan(name);
+            return source.doOnEach(span::onSignal)
+                    .doOnCancel(span::onCancel);
+        });
+    }
+
+    /**
+     * Operator adding a span named name around a Flux when the current request is traced
+     * The span records when the first element was emitted and how many elements went through.
+     * Use with Flux.transform()
+     */
+    public <T> Function<Flux<T>, Flux<T>> flux(String name) {
+        if (!enabled) {
+            return Function.identity();
+        }
+        return source -> Flux.deferContextual(context -> {
+            TraceContext trace = context.getOrDefault(TraceContext.class, null);
+            if (trace == null) {
+                return source;
+            }
+            TraceContext.Span span = trace.startSpan(name);
+            return source.doOnEach(span::onSignal)
+                    .doOnCancel(span::onCancel);
+        });
+    }
+
+    /**
+     * Recent slow requests, newest first
+     */
+    public List<TraceRecord> getRecentSlowRequests() {
+        long count = slowRequestCount.get();
+        int size = slowRequests.length();
+        List<TraceRecord> records = new ArrayList<>();
+        for (long i = count - 1; i >= 0 && i >= count - size; i--) {
+            TraceRecord record = slowRequests.get((int) (i % size));
+            if (record != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    private void record(TraceRecord trace) {
+        if (trace.getDurationMicros() < slowThresholdMicros || slowRequests.length() == 0) {
+            return;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("event=trace.slow-request traceId={} method={} path={} status={} durationMicros={}",
+                    trace.getTraceId(), trace.getMethod(), trace.getPath(), trace.getStatus(), trace.getDurationMicros());
+        }
+        long slot = slowRequestCount.getAndIncrement();
+        slowRequests.set((int) (slot % slowRequests.length()), trace);
+    }
+
+    /**
+     * Whether a request came from the local machine
+     */
+    public static boolean isLocal(InetSocketAddress address) {
+        return address != null && address.getAddress() != null && address.getAddress().isLoopbackAddress();
+    }
+}
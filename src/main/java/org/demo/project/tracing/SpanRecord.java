@@ -0,0 +1,24 @@
+package org.demo.project.tracing;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * SpanRecord model class describing one traced operator chain within a request
+ * Offsets are in microseconds from the start of the request;
+ * firstElementMicros is null when nothing was emitted
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpanRecord {
+    private String name;
+    private Long startMicros;
+    private Long firstElementMicros;
+    private Long endMicros;
+    private Long elements;
+    private String signal;
+    private String subscribeThread;
+    private String endThread;
+}
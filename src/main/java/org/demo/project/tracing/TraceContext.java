@@ -0,0 +1,129 @@
+package org.demo.project.tracing;
+
+import reactor.core.publisher.Signal;
+import reactor.core.publisher.SignalType;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TraceContext holds the timeline of one sampled request while it is in flight
+ * It travels in the Reactor Context under the TraceContext.class key,
+ * so any operator chain subscribed as part of the request can add spans to it.
+ */
+public class TraceContext {
+
+    private final String traceId;
+
+    private final String method;
+
+    private final String path;
+
+    private final Instant startedAt = Instant.now();
+
+    private final long startNanos = System.nanoTime();
+
+    private final Queue<Span> spans = new ConcurrentLinkedQueue<>();
+
+    TraceContext(String traceId, String method, String path) {
+        this.traceId = traceId;
+        this.method = method;
+        this.path = path;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    /**
+     * Start a span now; called when the traced chain is subscribed
+     */
+    Span startSpan(String name) {
+        Span span = new Span(name, micros());
+        spans.add(span);
+        return span;
+    }
+
+    /**
+     * Freeze the timeline into a record
+     */
+    TraceRecord finish(Integer status) {
+        List<SpanRecord> spanRecords = spans.stream()
+                .map(Span::toRecord)
+                .sorted(Comparator.comparing(SpanRecord::getStartMicros))
+                .toList();
+        return new TraceRecord(traceId, method, path, status, startedAt, micros(), spanRecords);
+    }
+
+    private long micros() {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Timing of one operator chain
+     * Signals of a single subscription are serialized; fields are volatile so the
+     * thread that finishes the request sees the latest values
+     */
+    final class Span {
+
+        private final String name;
+
+        private final long startMicros;
+
+        private final String subscribeThread = Thread.currentThread().getName();
+
+        private volatile long firstElementMicros = -1;
+
+        private volatile long elements;
+
+        private volatile long endMicros = -1;
+
+        private volatile SignalType signal;
+
+        private volatile String endThread;
+
+        private Span(String name, long startMicros) {
+            this.name = name;
+            this.startMicros = startMicros;
+        }
+
+        /**
+         * Called before the signal is passed downstream, so the span ends before the request does
+         */
+        void onSignal(Signal<?> signal) {
+            if (signal.isOnNext()) {
+                if (elements++ == 0) {
+                    firstElementMicros = micros();
+                }
+            } else if (signal.isOnComplete() || signal.isOnError()) {
+                end(signal.getType());
+            }
+        }
+
+        void onCancel() {
+            end(SignalType.CANCEL);
+        }
+
+        private void end(SignalType signal) {
+            this.endMicros = micros();
+            this.signal = signal;
+            this.endThread = Thread.currentThread().getName();
+        }
+
+        private SpanRecord toRecord() {
+            return new SpanRecord(
+                    name,
+                    startMicros,
+                    firstElementMicros < 0 ? null : firstElementMicros,
+                    endMicros < 0 ? null : endMicros,
+                    elements,
+                    signal == null ? "IN_FLIGHT" : signal.name(),
+                    subscribeThread,
+                    endThread);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.demo.project.tracing;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * TraceRecord model class describing a finished, sampled request and its spans
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TraceRecord {
+    private String traceId;
+    private String method;
+    private String path;
+    private Integer status;
+    private Instant startedAt;
+    private Long durationMicros;
+    private List<SpanRecord> spans;
+}
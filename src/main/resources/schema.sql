@@ -0,0 +1,14 @@
+CREATE TABLE IF NOT EXISTS product (
+    id       INTEGER PRIMARY KEY,
+    name     VARCHAR(255) NOT NULL,
+    price    DOUBLE PRECISION NOT NULL,
+    quantity INTEGER NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_product_price ON product (price);
+
+CREATE TABLE IF NOT EXISTS users (
+    id    INTEGER PRIMARY KEY,
+    name  VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL
+);
@@ -0,0 +1,90 @@
+package org.demo.project.benchmark;
+
+import org.demo.project.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares HTTP request throughput with application and web logging at DEBUG versus INFO
+ * Both runs go through the asynchronous appender configured in logback-spring.xml
+ *
+ * Disabled by default, run with:
+ * mvn test -Dtest=LoggingBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class LoggingBenchmarkTest {
+
+    private static final String[] LOGGERS = {"org.demo.project", "org.springframework.web"};
+
+    private static final int WARMUP_REQUESTS = 5_000;
+    private static final int REQUESTS = 50_000;
+    private static final int CONCURRENCY = 64;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+
+    @Autowired
+    private LoggingSystem loggingSystem;
+
+    private WebClient webClient;
+
+    @BeforeEach
+    void connect() {
+        webClient = webClientBuilder.baseUrl("http://localhost:" + port).build();
+    }
+
+    @AfterEach
+    void restoreLogLevels() {
+        setLogLevel(LogLevel.DEBUG);
+    }
+
+    @Test
+    void benchmarkLoggingOnVersusOff() {
+        run("logging on (DEBUG)", LogLevel.DEBUG);
+        run("logging off (INFO)", LogLevel.INFO);
+    }
+
+    private void run(String name, LogLevel level) {
+        setLogLevel(level);
+        send(WARMUP_REQUESTS);
+
+        long start = System.nanoTime();
+        long responses = send(REQUESTS);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        assertEquals(REQUESTS, responses);
+        System.out.printf("%-20s %8.0f requests/s (%d requests, concurrency %d)%n",
+                name, REQUESTS / seconds, REQUESTS, CONCURRENCY);
+    }
+
+    private long send(int requests) {
+        return Flux.range(0, requests)
+                .flatMap(i -> webClient.get()
+                        .uri("/api/mono/user-immediate/{id}", i)
+                        .retrieve()
+                        .bodyToMono(User.class), CONCURRENCY)
+                .count()
+                .block();
+    }
+
+    private void setLogLevel(LogLevel level) {
+        for (String logger : LOGGERS) {
+            loggingSystem.setLogLevel(logger, level);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.demo.project.benchmark;
+
+import org.demo.project.model.Product;
+import org.demo.project.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.rsocket.server.LocalRSocketServerPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares streaming products over HTTP NDJSON with RSocket request-stream
+ * Each iteration opens a stream for the whole catalog and drains it
+ *
+ * Disabled by default, run with:
+ * mvn test -Dtest=TransportBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class TransportBenchmarkTest {
+
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int ITERATIONS = 20_000;
+    private static final int CONCURRENCY = 64;
+
+    @LocalServerPort
+    private int httpPort;
+
+    @LocalRSocketServerPort
+    private int rsocketPort;
+
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+
+    @Autowired
+    private RSocketRequester.Builder requesterBuilder;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private WebClient webClient;
+
+    private RSocketRequester requester;
+
+    @BeforeEach
+    void connect() {
+        webClient = webClientBuilder.baseUrl("http://localhost:" + httpPort).build();
+        requester = requesterBuilder.tcp("localhost", rsocketPort);
+    }
+
+    @AfterEach
+    void disconnect() {
+        requester.dispose();
+    }
+
+    @Test
+    void benchmarkProductStream() {
+        Supplier<Flux<Product>> http = () -> webClient.get()
+                .uri("/api/flux/products-stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .retrieve()
+                .bodyToFlux(Product.class);
+        Supplier<Flux<Product>> rsocket = () -> requester.route("products.stream")
+                .retrieveFlux(Product.class);
+
+        run("HTTP NDJSON", http);
+        run("RSocket request-stream", rsocket);
+    }
+
+    private void run(String name, Supplier<Flux<Product>> stream) {
+        long catalogSize = productRepository.count().block();
+        drain(stream, WARMUP_ITERATIONS);
+
+        long start = System.nanoTime();
+        long items = drain(stream, ITERATIONS);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        assertEquals(ITERATIONS * catalogSize, items);
+        System.out.printf("%-24s %8.0f streams/s %10.0f items/s (%d streams, concurrency %d)%n",
+                name, ITERATIONS / seconds, items / seconds, ITERATIONS, CONCURRENCY);
+    }
+
+    private long drain(Supplier<Flux<Product>> stream, int iterations) {
+        return Flux.range(0, iterations)
+                .flatMap(i -> stream.get().count(), CONCURRENCY)
+                .reduce(0L, Long::sum)
+                .block();
+    }
+}
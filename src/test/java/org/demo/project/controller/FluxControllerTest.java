@@ -1,14 +1,22 @@
 package org.demo.project.controller;
 
 import org.demo.project.model.Product;
+import org.demo.project.model.ProductStats;
+import org.demo.project.model.StockUpdate;
 import org.demo.project.service.ProductService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
 /**
@@ -82,5 +90,54 @@ public class FluxControllerTest {
                 .expectBodyList(String.class)
                 .hasSize(3);
     }
-}
 
+    @Test
+    void testUpdateStock() {
+        when(productService.applyStockUpdates(any()))
+                .thenAnswer(invocation -> {
+                    Flux<StockUpdate> updates = invocation.getArgument(0);
+                    return updates.map(update -> new Product(update.getProductId(), "Laptop", 999.99, 5));
+                });
+
+        webTestClient.post()
+                .uri("/api/flux/products/stock")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"productId\":1,\"delta\":-2}\n{\"productId\":1,\"delta\":3}\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Long.class)
+                .isEqualTo(2L);
+    }
+
+    @Test
+    void testSearchProducts() {
+        Product product1 = new Product(2, "Mouse", 29.99, 50);
+        Product product2 = new Product(4, "Monitor", 299.99, 10);
+
+        when(productService.searchProducts("mo", 5))
+                .thenReturn(Flux.just(product1, product2));
+
+        webTestClient.get()
+                .uri("/api/flux/products/search?q=mo&limit=5")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Product.class)
+                .isEqualTo(List.of(product1, product2));
+    }
+
+    @Test
+    void testGetProductStats() {
+        ProductStats stats = new ProductStats(2L, 55L, 6499.45, 29.99, 999.99, 514.99,
+                Map.of("0-50", 1L, "500-1000", 1L));
+
+        when(productService.getProductStats())
+                .thenReturn(Mono.just(stats));
+
+        webTestClient.get()
+                .uri("/api/flux/products/stats")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ProductStats.class)
+                .isEqualTo(stats);
+    }
+}
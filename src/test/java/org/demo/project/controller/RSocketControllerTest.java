@@ -0,0 +1,117 @@
+package org.demo.project.controller;
+
+import org.demo.project.model.Product;
+import org.demo.project.model.User;
+import org.demo.project.service.ProductService;
+import org.demo.project.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.rsocket.server.LocalRSocketServerPort;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for RSocketController
+ * Demonstrates testing request-response, request-stream and request-channel over TCP
+ */
+@SpringBootTest
+public class RSocketControllerTest {
+
+    @LocalRSocketServerPort
+    private int port;
+
+    @Autowired
+    private RSocketRequester.Builder requesterBuilder;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private ProductService productService;
+
+    private RSocketRequester requester;
+
+    @BeforeEach
+    void connect() {
+        requester = requesterBuilder.tcp("localhost", port);
+    }
+
+    @AfterEach
+    void disconnect() {
+        requester.dispose();
+    }
+
+    @Test
+    void testGetUserByIdRequestResponse() {
+        User expectedUser = new User(1, "Test User", "test@example.com");
+
+        when(userService.getUserById(1))
+                .thenReturn(Mono.just(expectedUser));
+
+        StepVerifier.create(requester.route("users.{id}", 1).retrieveMono(User.class))
+                .expectNext(expectedUser)
+                .verifyComplete();
+    }
+
+    @Test
+    void testStreamAllProductsHonoursDemand() {
+        Product product1 = new Product(1, "Laptop", 999.99, 5);
+        Product product2 = new Product(2, "Mouse", 29.99, 50);
+        Product product3 = new Product(3, "Keyboard", 79.99, 30);
+
+        List<Long> serverRequests = new CopyOnWriteArrayList<>();
+
+        when(productService.getAllProducts())
+                .thenReturn(Flux.just(product1, product2, product3).doOnRequest(serverRequests::add));
+
+        StepVerifier.create(requester.route("products.stream").retrieveFlux(Product.class), 1)
+                .expectNext(product1)
+                .then(() -> assertEquals(List.of(1L), serverRequests))
+                .thenRequest(2)
+                .expectNext(product2, product3)
+                .verifyComplete();
+
+        assertEquals(List.of(1L, 2L), serverRequests);
+    }
+
+    @Test
+    void testStreamProductsByPrice() {
+        Product product1 = new Product(2, "Mouse", 29.99, 50);
+        Product product2 = new Product(3, "Keyboard", 79.99, 30);
+
+        when(productService.getProductsByMaxPrice(100.0))
+                .thenReturn(Flux.just(product1, product2));
+
+        StepVerifier.create(requester.route("products.by-price").data(100.0).retrieveFlux(Product.class))
+                .expectNext(product1, product2)
+                .verifyComplete();
+    }
+
+    @Test
+    void testLookupProductsRequestChannel() {
+        Product product1 = new Product(1, "Laptop", 999.99, 5);
+        Product product3 = new Product(3, "Keyboard", 79.99, 30);
+
+        when(productService.getProductById(1)).thenReturn(Mono.just(product1));
+        when(productService.getProductById(3)).thenReturn(Mono.just(product3));
+        when(productService.getProductById(42)).thenReturn(Mono.empty());
+
+        StepVerifier.create(requester.route("products.lookup")
+                        .data(Flux.just(1, 42, 3))
+                        .retrieveFlux(Product.class))
+                .expectNext(product1, product3)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,68 @@
+package org.demo.project.repository;
+
+import org.demo.project.model.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for ProductRepository
+ * Runs against its own embedded H2 database (R2DBC mode) with a small batch size
+ */
+@SpringBootTest(properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///product-repository-test?options=DB_CLOSE_DELAY=-1",
+        "catalog.r2dbc.batch-size=2"
+})
+public class ProductRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void testFindAllStreamsSeededCatalogInIdOrder() {
+        StepVerifier.create(productRepository.findAll().map(Product::getId), 2)
+                .expectNext(1, 2)
+                .thenRequest(3)
+                .expectNext(3, 4, 5)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void testFindById() {
+        StepVerifier.create(productRepository.findById(2))
+                .assertNext(product -> assertEquals("Mouse", product.getName()))
+                .verifyComplete();
+
+        StepVerifier.create(productRepository.findById(-1))
+                .verifyComplete();
+    }
+
+    @Test
+    void testFindByMaxPrice() {
+        StepVerifier.create(productRepository.findByMaxPrice(100.0))
+                .assertNext(product -> assertTrue(product.getPrice() <= 100.0))
+                .assertNext(product -> assertTrue(product.getPrice() <= 100.0))
+                .verifyComplete();
+    }
+
+    @Test
+    void testSaveAllInsertsInBatches() {
+        Flux<Product> catalog = Flux.range(1000, 5)
+                .map(id -> new Product(id, "Server " + id, 4999.99, 100));
+
+        StepVerifier.create(productRepository.saveAll(catalog))
+                .expectNext(5L)
+                .verifyComplete();
+
+        StepVerifier.create(productRepository.findByMaxPrice(5000.0)
+                        .filter(product -> product.getId() >= 1000))
+                .expectNextCount(5)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,54 @@
+package org.demo.project.service;
+
+import org.demo.project.model.Product;
+import org.demo.project.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for ProductService.loadCatalog
+ * Runs against its own database with a small batch size so the load spans several batches
+ */
+@SpringBootTest(properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///catalog-load-test?options=DB_CLOSE_DELAY=-1",
+        "catalog.r2dbc.batch-size=2"
+})
+public class CatalogLoadTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void testLoadCatalogPersistsAndUpdatesView() {
+        Flux<Product> catalog = Flux.range(100, 5)
+                .map(id -> new Product(id, "Cable " + id, 9.99, 20));
+
+        StepVerifier.create(productService.loadCatalog(catalog))
+                .expectNext(5L)
+                .verifyComplete();
+
+        StepVerifier.create(productRepository.count())
+                .expectNext(10L)
+                .verifyComplete();
+
+        StepVerifier.create(productService.getProductById(104))
+                .assertNext(product -> assertEquals("Cable 104", product.getName()))
+                .verifyComplete();
+
+        StepVerifier.create(productService.getProductStats())
+                .assertNext(stats -> assertEquals(10L, stats.getProductCount()))
+                .verifyComplete();
+
+        StepVerifier.create(productService.searchProducts("cable", 10))
+                .expectNextCount(5)
+                .verifyComplete();
+    }
+}
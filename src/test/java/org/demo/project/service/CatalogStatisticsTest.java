@@ -0,0 +1,62 @@
+package org.demo.project.service;
+
+import org.demo.project.model.Product;
+import org.demo.project.model.ProductStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Test class for CatalogStatistics
+ * Checks that incremental updates give the same result as computing from scratch
+ */
+public class CatalogStatisticsTest {
+
+    private final CatalogStatistics statistics = new CatalogStatistics(new double[]{100, 50, 500, 1000});
+
+    @Test
+    void testEmptyCatalog() {
+        ProductStats stats = statistics.snapshot();
+
+        assertEquals(0L, stats.getProductCount());
+        assertEquals(0.0, stats.getInventoryValue());
+        assertNull(stats.getMinPrice());
+        assertNull(stats.getAveragePrice());
+        assertEquals(List.of("0-50", "50-100", "100-500", "500-1000", "1000+"),
+                List.copyOf(stats.getCountByPriceBucket().keySet()));
+    }
+
+    @Test
+    void testAggregatesFollowChanges() {
+        Product laptop = new Product(1, "Laptop", 999.99, 5);
+        Product mouse = new Product(2, "Mouse", 29.99, 50);
+        Product monitor = new Product(4, "Monitor", 500.0, 10);
+        statistics.apply(null, laptop);
+        statistics.apply(null, mouse);
+        statistics.apply(null, monitor);
+
+        ProductStats stats = statistics.snapshot();
+        assertEquals(3L, stats.getProductCount());
+        assertEquals(65L, stats.getTotalQuantity());
+        assertEquals(11499.45, stats.getInventoryValue());
+        assertEquals(29.99, stats.getMinPrice());
+        assertEquals(999.99, stats.getMaxPrice());
+        assertEquals(509.99, stats.getAveragePrice());
+        assertEquals(1L, stats.getCountByPriceBucket().get("0-50"));
+        assertEquals(2L, stats.getCountByPriceBucket().get("500-1000"));
+
+        statistics.apply(mouse, new Product(2, "Mouse", 29.99, 40));
+        statistics.apply(laptop, null);
+
+        stats = statistics.snapshot();
+        assertEquals(2L, stats.getProductCount());
+        assertEquals(50L, stats.getTotalQuantity());
+        assertEquals(6199.6, stats.getInventoryValue());
+        assertEquals(500.0, stats.getMaxPrice());
+        assertEquals(1L, stats.getCountByPriceBucket().get("500-1000"));
+        assertEquals(5L, statistics.getVersion());
+    }
+}
@@ -0,0 +1,59 @@
+package org.demo.project.service;
+
+import org.demo.project.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for ProductNameIndex
+ * Covers ranking, top-k limits and incremental updates
+ */
+public class ProductNameIndexTest {
+
+    private final ProductNameIndex index = new ProductNameIndex();
+
+    @BeforeEach
+    void setUp() {
+        index.apply(null, new Product(1, "Mouse", 29.99, 50));
+        index.apply(null, new Product(2, "Wireless Mouse", 49.99, 20));
+        index.apply(null, new Product(3, "Mousepad XL", 19.99, 40));
+        index.apply(null, new Product(4, "Gaming  Mousemat", 24.99, 15));
+        index.apply(null, new Product(5, "Monitor", 299.99, 10));
+    }
+
+    @Test
+    void testRanksNamePrefixThenWordPrefixThenSubstring() {
+        assertEquals(List.of(1, 3, 2, 4), index.search("mouse", 10));
+        assertEquals(List.of(2), index.search("  WIRELESS   mo ", 10));
+        assertEquals(List.of(3), index.search("sepa", 10));
+    }
+
+    @Test
+    void testShortQueriesOnlyMatchPrefixes() {
+        assertEquals(List.of(5, 1, 3, 2, 4), index.search("mo", 10));
+        assertEquals(List.of(), index.search("ou", 10));
+        assertEquals(List.of(), index.search("", 10));
+    }
+
+    @Test
+    void testLimitKeepsBestResults() {
+        assertEquals(List.of(1, 3), index.search("mouse", 2));
+        assertEquals(List.of(1, 3, 2), index.search("mouse", 3));
+        assertEquals(List.of(5), index.search("m", 1));
+        assertEquals(List.of(), index.search("mouse", 0));
+    }
+
+    @Test
+    void testUpdatesAreIncremental() {
+        index.apply(new Product(1, "Mouse", 29.99, 50), new Product(1, "Trackball", 29.99, 50));
+        index.apply(new Product(5, "Monitor", 299.99, 10), null);
+
+        assertEquals(List.of(3, 2, 4), index.search("mouse", 10));
+        assertEquals(List.of(1), index.search("ball", 10));
+        assertEquals(List.of(3, 2, 4), index.search("mo", 10));
+    }
+}
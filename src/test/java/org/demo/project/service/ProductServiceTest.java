@@ -1,11 +1,16 @@
 package org.demo.project.service;
 
 import org.demo.project.model.Product;
+import org.demo.project.model.StockUpdate;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -46,5 +51,43 @@ public class ProductServiceTest {
                 .expectNextCount(5)
                 .verifyComplete();
     }
-}
 
+    @Test
+    void testSearchProductsRanksPrefixMatchesFirst() {
+        StepVerifier.create(productService.searchProducts("MO", 10).map(Product::getName))
+                .expectNext("Monitor", "Mouse")
+                .verifyComplete();
+
+        StepVerifier.create(productService.searchProducts("phone", 10).map(Product::getName))
+                .expectNext("Headphones")
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetProductStatsAggregatesCatalog() {
+        StepVerifier.create(productService.getProductStats())
+                .assertNext(stats -> {
+                    assertEquals(5L, stats.getProductCount());
+                    assertEquals(29.99, stats.getMinPrice());
+                    assertEquals(999.99, stats.getMaxPrice());
+                    assertEquals(2L, stats.getCountByPriceBucket().get("100-500"));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetProductStatsUpdatesEmitsOnChange() {
+        long totalQuantity = productService.getProductStats().block().getTotalQuantity();
+
+        StepVerifier.create(productService.getProductStatsUpdates(Duration.ofMillis(20)))
+                .expectNextCount(1)
+                .then(() -> productService.applyStockUpdates(Flux.just(new StockUpdate(1, 0))).blockLast())
+                .expectNoEvent(Duration.ofMillis(100))
+                .then(() -> productService.applyStockUpdates(Flux.just(new StockUpdate(1, 3))).blockLast())
+                .assertNext(stats -> assertEquals(totalQuantity + 3, stats.getTotalQuantity()))
+                .then(() -> productService.applyStockUpdates(Flux.just(new StockUpdate(1, -3))).blockLast())
+                .assertNext(stats -> assertEquals(totalQuantity, stats.getTotalQuantity()))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+}
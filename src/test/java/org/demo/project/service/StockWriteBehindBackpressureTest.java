@@ -0,0 +1,37 @@
+package org.demo.project.service;
+
+import org.demo.project.model.StockUpdate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+/**
+ * Test class for StockWriteBehind when the buffer is full
+ * With max-pending=1 every update waits for a flush that drains the buffer to zero
+ */
+@SpringBootTest(properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///stock-write-behind-backpressure-test?options=DB_CLOSE_DELAY=-1",
+        "catalog.write-behind.batch-size=1",
+        "catalog.write-behind.flush-interval=10ms",
+        "catalog.write-behind.max-pending=1"
+})
+public class StockWriteBehindBackpressureTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void testWaitingUpdatesAreWokenWhenBufferDrains() {
+        Flux<StockUpdate> updates = Flux.range(0, 200)
+                .map(i -> new StockUpdate(1, i % 2 == 0 ? 1 : -1));
+
+        StepVerifier.create(productService.applyStockUpdates(updates).count())
+                .expectNext(200L)
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+    }
+}
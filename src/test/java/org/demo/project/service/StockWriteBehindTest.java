@@ -0,0 +1,131 @@
+package org.demo.project.service;
+
+import org.demo.project.model.Product;
+import org.demo.project.model.StockUpdate;
+import org.demo.project.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for stock updates going through StockWriteBehind
+ * Runs against its own database so quantity changes do not leak into other tests
+ */
+@SpringBootTest(properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///stock-write-behind-test?options=DB_CLOSE_DELAY=-1",
+        "catalog.write-behind.batch-size=2",
+        "catalog.write-behind.flush-interval=50ms",
+        "catalog.write-behind.max-pending=2"
+})
+public class StockWriteBehindTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockWriteBehind stockWriteBehind;
+
+    @Test
+    void testStockUpdatesAreVisibleImmediatelyAndFlushedCoalesced() {
+        Flux<StockUpdate> updates = Flux.just(
+                new StockUpdate(2, -45),
+                new StockUpdate(2, -3),
+                new StockUpdate(3, 5),
+                new StockUpdate(42, 1));
+
+        StepVerifier.create(productService.applyStockUpdates(updates).map(Product::getQuantity))
+                .expectNext(5, 2, 35)
+                .verifyComplete();
+
+        StepVerifier.create(productService.getLowStockProducts(3).map(Product::getId))
+                .expectNext(2)
+                .verifyComplete();
+
+        StepVerifier.create(productRepository.findById(2)
+                        .map(Product::getQuantity)
+                        .filter(quantity -> quantity == 2)
+                        .repeatWhenEmpty(50, attempts -> attempts.delayElements(Duration.ofMillis(20))))
+                .expectNext(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void testQuantityNeverDropsBelowZero() {
+        StepVerifier.create(productService.applyStockUpdates(Flux.just(new StockUpdate(4, -1000))))
+                .assertNext(product -> assertEquals(0, product.getQuantity()))
+                .verifyComplete();
+    }
+
+    @Test
+    void testInvalidUpdatesAreSkipped() {
+        Flux<StockUpdate> updates = Flux.just(
+                new StockUpdate(null, 2),
+                new StockUpdate(3, null),
+                new StockUpdate(5, 1));
+
+        StepVerifier.create(productService.applyStockUpdates(updates).map(Product::getId))
+                .expectNext(5)
+                .verifyComplete();
+    }
+
+    @Test
+    void testQuantityDoesNotOverflow() {
+        Flux<StockUpdate> updates = Flux.just(
+                new StockUpdate(5, Integer.MAX_VALUE),
+                new StockUpdate(5, Integer.MAX_VALUE));
+
+        StepVerifier.create(productService.applyStockUpdates(updates).map(Product::getQuantity))
+                .expectNext(Integer.MAX_VALUE, Integer.MAX_VALUE)
+                .verifyComplete();
+    }
+
+    @Test
+    void testManyUpdatesDrainThroughSmallBuffer() {
+        Flux<StockUpdate> updates = Flux.range(0, 200)
+                .map(i -> new StockUpdate(1 + i % 5, i % 10 < 5 ? 1 : -1));
+
+        StepVerifier.create(productService.applyStockUpdates(updates).count())
+                .expectNext(200L)
+                .verifyComplete();
+
+        StepVerifier.create(Flux.interval(Duration.ofMillis(20))
+                        .filter(tick -> stockWriteBehind.getPendingCount() == 0)
+                        .next())
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testConcurrentIngestKeepsViewAndDatabaseInAgreement() {
+        Flux.range(0, 8)
+                .flatMap(stream -> productService.applyStockUpdates(Flux.range(0, 500)
+                                .map(i -> new StockUpdate(1 + i % 5, (stream + i) % 2 == 0 ? 3 : -2)))
+                        .subscribeOn(Schedulers.parallel()))
+                .blockLast(Duration.ofSeconds(10));
+
+        Map<Integer, Integer> view = productService.getAllProducts()
+                .filter(product -> product.getId() <= 5)
+                .collectMap(Product::getId, Product::getQuantity)
+                .block();
+
+        StepVerifier.create(productRepository.findAll()
+                        .filter(product -> product.getId() <= 5)
+                        .collectMap(Product::getId, Product::getQuantity)
+                        .filter(view::equals)
+                        .repeatWhenEmpty(100, attempts -> attempts.delayElements(Duration.ofMillis(20))))
+                .expectNext(view)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,139 @@
+package org.demo.project.tracing;
+
+import org.demo.project.model.Product;
+import org.demo.project.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for RequestTracer
+ * Sampling is off, so only requests carrying an X-Trace-Id header are traced
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///request-tracer-test?options=DB_CLOSE_DELAY=-1",
+        "tracing.sample-rate=0",
+        "tracing.slow-threshold=0ms",
+        "tracing.local-only=false"
+})
+public class RequestTracerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private RequestTracer requestTracer;
+
+    @Test
+    void testUnsampledRequestIsNotTraced() {
+        int before = requestTracer.getRecentSlowRequests().size();
+
+        webTestClient.get()
+                .uri("/api/mono/user/{id}", 1)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(RequestTracer.TRACE_HEADER)
+                .expectBody(User.class);
+
+        assertEquals(before, requestTracer.getRecentSlowRequests().size());
+    }
+
+    @Test
+    void testForcedTraceRecordsServiceSpans() {
+        webTestClient.get()
+                .uri("/api/mono/user-summary/{id}", 1)
+                .header(RequestTracer.TRACE_HEADER, "summary-trace")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(RequestTracer.TRACE_HEADER, "summary-trace")
+                .expectBody(String.class)
+                .isEqualTo("User: John Doe (john@example.com)");
+
+        awaitTrace("summary-trace");
+        List<TraceRecord> traces = webTestClient.get()
+                .uri("/api/trace/slow-requests")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(new ParameterizedTypeReference<List<TraceRecord>>() {})
+                .returnResult()
+                .getResponseBody();
+
+        assertNotNull(traces);
+        TraceRecord trace = traces.stream()
+                .filter(record -> record.getTraceId().equals("summary-trace"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("/api/mono/user-summary/1", trace.getPath());
+        assertEquals(200, trace.getStatus());
+
+        SpanRecord span = trace.getSpans().get(0);
+        assertEquals("UserService.getUserById", span.getName());
+        assertEquals(1L, span.getElements());
+        assertEquals("ON_COMPLETE", span.getSignal());
+        assertTrue(span.getEndMicros() <= trace.getDurationMicros());
+    }
+
+    @Test
+    void testFluxSpanCountsElements() {
+        webTestClient.get()
+                .uri("/api/flux/products")
+                .header(RequestTracer.TRACE_HEADER, "products-trace")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Product.class)
+                .hasSize(5);
+
+        TraceRecord trace = awaitTrace("products-trace");
+        SpanRecord span = trace.getSpans().get(0);
+        assertEquals("ProductService.getAllProducts", span.getName());
+        assertEquals(5L, span.getElements());
+        assertNotNull(span.getFirstElementMicros());
+    }
+
+    @Test
+    void testForcedTraceIsOnlyHonouredLocallyWhenLocalOnly() {
+        RequestTracer localOnlyTracer = new RequestTracer(true, 0, Duration.ZERO, 10, true);
+
+        MockServerWebExchange remote = MockServerWebExchange.from(MockServerHttpRequest.get("/api/flux/products")
+                .remoteAddress(new InetSocketAddress("203.0.113.7", 40000))
+                .header(RequestTracer.TRACE_HEADER, "remote-trace"));
+        localOnlyTracer.filter(remote, exchange -> Mono.empty()).block();
+
+        MockServerWebExchange local = MockServerWebExchange.from(MockServerHttpRequest.get("/api/flux/products")
+                .remoteAddress(new InetSocketAddress("127.0.0.1", 40001))
+                .header(RequestTracer.TRACE_HEADER, "local-trace"));
+        localOnlyTracer.filter(local, exchange -> Mono.empty()).block();
+
+        assertNull(remote.getResponse().getHeaders().getFirst(RequestTracer.TRACE_HEADER));
+        assertEquals(List.of("local-trace"), localOnlyTracer.getRecentSlowRequests().stream()
+                .map(TraceRecord::getTraceId)
+                .toList());
+    }
+
+    /**
+     * The trace is recorded when the server finishes the exchange,
+     * which can be just after the client has read the response
+     */
+    private TraceRecord awaitTrace(String traceId) {
+        return Mono.fromSupplier(() -> requestTracer.getRecentSlowRequests().stream()
+                        .filter(record -> record.getTraceId().equals(traceId))
+                        .findFirst()
+                        .orElse(null))
+                .repeatWhenEmpty(50, attempts -> attempts.delayElements(Duration.ofMillis(20)))
+                .block();
+    }
+}